@@ -8,6 +8,10 @@ import org.event4j.rest.ErrorLoggingService;
 import org.event4j.rest.RestConfigurationProperties;
 import org.event4j.rest.RestProducerService;
 import org.event4j.rest.RestPublisher;
+import org.event4j.trace.TraceConfigurationProperties;
+import org.event4j.trace.TraceContext;
+import org.event4j.trace.TraceStage;
+import org.event4j.trace.Tracer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -26,26 +30,28 @@ public class Event4JAnnotationProcessor {
     public final KafkaProducerService kafkaProducerService;
     private final RestProducerService restProducerService;
     private final ErrorLoggingService errorLoggingService;
+    private final Tracer tracer;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Constructs an instance of {@code Event4JAnnotationProcessor}. Initializes
-     * the Kafka and REST producer services based on the respective configuration
-     * properties.
+     * the Kafka and REST producer services and the tracer based on the
+     * respective configuration properties.
      */
     public Event4JAnnotationProcessor() {
         KafkaConfigurationProperties kafkaConfigurationProperties = new KafkaConfigurationProperties();
         RestConfigurationProperties restConfigurationProperties = new RestConfigurationProperties();
+        this.tracer = new Tracer(new TraceConfigurationProperties());
         if (kafkaConfigurationProperties.isEnable()) {
-            this.kafkaProducerService = new KafkaProducerService(kafkaConfigurationProperties);
-            KafkaConsumerService kafkaMessageConsumer = new KafkaConsumerService(kafkaConfigurationProperties);
+            this.kafkaProducerService = new KafkaProducerService(kafkaConfigurationProperties, tracer);
+            KafkaConsumerService kafkaMessageConsumer = new KafkaConsumerService(kafkaConfigurationProperties, tracer);
             kafkaMessageConsumer.consumeMessages();
         } else {
             this.kafkaProducerService = null;
         }
 
         if (restConfigurationProperties.isEnable()) {
-            this.restProducerService = new RestProducerService(restConfigurationProperties);
+            this.restProducerService = new RestProducerService(restConfigurationProperties, tracer);
             this.errorLoggingService = new ErrorLoggingService(restConfigurationProperties);
         } else {
             this.restProducerService = null;
@@ -53,6 +59,23 @@ public class Event4JAnnotationProcessor {
         }
     }
 
+    /**
+     * Constructs an instance of {@code Event4JAnnotationProcessor} with already
+     * created services. A {@code null} service disables the corresponding
+     * publisher, the same as {@code enable=false} in the configuration.
+     *
+     * @param kafkaProducerService the Kafka producer service
+     * @param restProducerService  the REST producer service
+     * @param errorLoggingService  the service used to log failed REST messages
+     * @param tracer               the tracer that starts the trace of each event
+     */
+    public Event4JAnnotationProcessor(KafkaProducerService kafkaProducerService, RestProducerService restProducerService, ErrorLoggingService errorLoggingService, Tracer tracer) {
+        this.kafkaProducerService = kafkaProducerService;
+        this.restProducerService = restProducerService;
+        this.errorLoggingService = errorLoggingService;
+        this.tracer = tracer;
+    }
+
     /**
      * Pointcut that matches methods annotated with {@link KafkaPublisher}.
      *
@@ -64,7 +87,8 @@ public class Event4JAnnotationProcessor {
 
     /**
      * Around advice that processes methods annotated with {@link KafkaPublisher}.
-     * It publishes the result of the method execution to a Kafka topic.
+     * It publishes the result of the method execution to a Kafka topic. The
+     * trace of the event starts before the method is invoked.
      *
      * @param joinPoint      the join point
      * @param kafkaPublisher the KafkaPublisher annotation
@@ -77,11 +101,15 @@ public class Event4JAnnotationProcessor {
         }
 
         String message = "";
+        TraceContext traceContext = tracer.start();
         try {
-            message = objectMapper.writeValueAsString(joinPoint.proceed());
-            kafkaProducerService.publishMessage(message);
+            Object result = joinPoint.proceed();
+            traceContext.mark(TraceStage.INVOKE);
+            message = objectMapper.writeValueAsString(result);
+            traceContext.mark(TraceStage.SERIALIZE);
+            kafkaProducerService.publishMessage(message, traceContext);
         } catch (Exception e) {
-            kafkaProducerService.errorMessage(message, e.getMessage());
+            kafkaProducerService.errorMessage(message, e.getMessage(), traceContext);
         }
     }
 
@@ -96,7 +124,8 @@ public class Event4JAnnotationProcessor {
 
     /**
      * Around advice that processes methods annotated with {@link RestPublisher}.
-     * It sends the result of the method execution to a REST endpoint.
+     * It sends the result of the method execution to a REST endpoint. The
+     * trace of the event starts before the method is invoked.
      *
      * @param joinPoint    the join point
      * @param restPublisher the RestPublisher annotation
@@ -109,11 +138,16 @@ public class Event4JAnnotationProcessor {
         }
 
         String message = "";
+        TraceContext traceContext = tracer.start();
         try {
-            message = objectMapper.writeValueAsString(joinPoint.proceed());
-            restProducerService.send(message);
+            Object result = joinPoint.proceed();
+            traceContext.mark(TraceStage.INVOKE);
+            message = objectMapper.writeValueAsString(result);
+            traceContext.mark(TraceStage.SERIALIZE);
+            restProducerService.send(message, traceContext);
         } catch (Exception e) {
             errorLoggingService.logError(message, e.getMessage());
+            tracer.complete(traceContext, TraceContext.ERROR);
         }
     }
 }
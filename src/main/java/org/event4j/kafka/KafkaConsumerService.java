@@ -1,10 +1,15 @@
 package org.event4j.kafka;
 
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.event4j.trace.TraceConfigurationProperties;
+import org.event4j.trace.TraceContext;
+import org.event4j.trace.TraceStage;
+import org.event4j.trace.Tracer;
 
 import java.time.Duration;
 import java.util.Collections;
@@ -19,7 +24,7 @@ import java.util.concurrent.TimeUnit;
  */
 public class KafkaConsumerService {
 
-    private final KafkaConsumer<String, String> consumer;
+    private final Consumer<String, String> consumer;
     private final KafkaConfigurationProperties properties;
     private final KafkaProducerService kafkaProducerService;
     private final ScheduledExecutorService scheduler;
@@ -31,8 +36,19 @@ public class KafkaConsumerService {
      * @param kafkaConfigurationProperties the Kafka configuration properties
      */
     public KafkaConsumerService(KafkaConfigurationProperties kafkaConfigurationProperties) {
+        this(kafkaConfigurationProperties, new Tracer(new TraceConfigurationProperties()));
+    }
+
+    /**
+     * Constructs an instance of {@code KafkaConsumerService} with the specified
+     * configuration properties and tracer.
+     *
+     * @param kafkaConfigurationProperties the Kafka configuration properties
+     * @param tracer                       the tracer that records sampled events
+     */
+    public KafkaConsumerService(KafkaConfigurationProperties kafkaConfigurationProperties, Tracer tracer) {
         this.properties = kafkaConfigurationProperties;
-        this.kafkaProducerService = new KafkaProducerService(kafkaConfigurationProperties);
+        this.kafkaProducerService = new KafkaProducerService(kafkaConfigurationProperties, tracer);
 
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getHosts());
@@ -45,9 +61,26 @@ public class KafkaConsumerService {
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
     }
 
+    /**
+     * Constructs an instance of {@code KafkaConsumerService} that polls the
+     * given consumer and republishes through the given producer service.
+     *
+     * @param kafkaConfigurationProperties the Kafka configuration properties
+     * @param consumer                     the consumer used to read the retry topic
+     * @param kafkaProducerService         the producer service used to republish messages
+     */
+    public KafkaConsumerService(KafkaConfigurationProperties kafkaConfigurationProperties, Consumer<String, String> consumer, KafkaProducerService kafkaProducerService) {
+        this.properties = kafkaConfigurationProperties;
+        this.consumer = consumer;
+        this.kafkaProducerService = kafkaProducerService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
     /**
      * Starts consuming messages from the configured Kafka topic and republishes
-     * them using {@link KafkaProducerService}.
+     * them using {@link KafkaProducerService}. The trace metadata of each record
+     * is restored from its headers, so the time spent on the retry topic is
+     * recorded as {@link TraceStage#RETRY_TOPIC}.
      */
     public void consumeMessages() {
         consumer.subscribe(Collections.singletonList(properties.getRetryTopic()));
@@ -56,7 +89,9 @@ public class KafkaConsumerService {
             try {
                 ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(1000));
                 for (ConsumerRecord<String, String> consumedRecord : records) {
-                    kafkaProducerService.publishMessage(consumedRecord.value());
+                    TraceContext traceContext = TraceContext.fromKafkaHeaders(consumedRecord.headers());
+                    traceContext.mark(TraceStage.RETRY_TOPIC);
+                    kafkaProducerService.publishMessage(consumedRecord.value(), traceContext);
                 }
             } catch (Exception e) {
                 e.printStackTrace();
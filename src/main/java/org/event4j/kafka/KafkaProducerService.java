@@ -2,16 +2,23 @@ package org.event4j.kafka;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.event4j.trace.TraceConfigurationProperties;
+import org.event4j.trace.TraceContext;
+import org.event4j.trace.TraceStage;
+import org.event4j.trace.Tracer;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * The {@code KafkaProducerService} class handles the publishing of messages
@@ -19,8 +26,9 @@ import java.util.concurrent.ExecutionException;
  */
 public class KafkaProducerService {
 
-    private final KafkaProducer<String, String> producer;
+    private final Producer<String, String> producer;
     private final KafkaConfigurationProperties properties;
+    private final Tracer tracer;
 
     /**
      * Constructs an instance of {@code KafkaProducerService} with the specified
@@ -29,7 +37,19 @@ public class KafkaProducerService {
      * @param kafkaConfigurationProperties the Kafka configuration properties
      */
     public KafkaProducerService(KafkaConfigurationProperties kafkaConfigurationProperties) {
+        this(kafkaConfigurationProperties, new Tracer(new TraceConfigurationProperties()));
+    }
+
+    /**
+     * Constructs an instance of {@code KafkaProducerService} with the specified
+     * configuration properties and tracer.
+     *
+     * @param kafkaConfigurationProperties the Kafka configuration properties
+     * @param tracer                       the tracer that records sampled events
+     */
+    public KafkaProducerService(KafkaConfigurationProperties kafkaConfigurationProperties, Tracer tracer) {
         this.properties = kafkaConfigurationProperties;
+        this.tracer = tracer;
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getHosts());
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
@@ -37,6 +57,20 @@ public class KafkaProducerService {
         this.producer = new KafkaProducer<>(props);
     }
 
+    /**
+     * Constructs an instance of {@code KafkaProducerService} that publishes
+     * through the given producer instead of creating its own.
+     *
+     * @param kafkaConfigurationProperties the Kafka configuration properties
+     * @param producer                     the producer used to send records
+     * @param tracer                       the tracer that records sampled events
+     */
+    public KafkaProducerService(KafkaConfigurationProperties kafkaConfigurationProperties, Producer<String, String> producer, Tracer tracer) {
+        this.properties = kafkaConfigurationProperties;
+        this.producer = producer;
+        this.tracer = tracer;
+    }
+
     /**
      * Publishes a message to the configured Kafka topic. Retries on failures
      * up to the configured retry count.
@@ -44,28 +78,48 @@ public class KafkaProducerService {
      * @param message the message to publish
      */
     public void publishMessage(String message) {
+        publishMessage(message, tracer.start());
+    }
+
+    /**
+     * Publishes a message to the configured Kafka topic with its trace
+     * metadata as record headers. Retries on failures up to the configured
+     * retry count.
+     *
+     * @param message      the message to publish
+     * @param traceContext the trace of the message
+     */
+    public void publishMessage(String message, TraceContext traceContext) {
         int attempt = 0;
         while (attempt < properties.getRetryCount()) {
             try {
-                producer.send(new ProducerRecord<>(properties.getTopic(), message)).get();
+                traceContext.nextAttempt();
+                Future<RecordMetadata> future = producer.send(tracedRecord(properties.getTopic(), message, traceContext));
+                traceContext.mark(TraceStage.PRODUCER_QUEUE);
+                try {
+                    future.get();
+                } finally {
+                    traceContext.mark(TraceStage.BROKER_ACK);
+                }
+                tracer.complete(traceContext, TraceContext.DELIVERED);
                 return;
             } catch (ExecutionException e) {
                 if (e.getCause() instanceof RetriableException) {
                     attempt++;
                     if (attempt >= properties.getRetryCount()) {
-                        retryMessage(message);
+                        retryMessage(message, traceContext);
                         return;
                     }
                 } else {
-                    errorMessage(message, e.getMessage());
+                    errorMessage(message, e.getMessage(), traceContext);
                     return;
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                errorMessage(message, e.getMessage());
+                errorMessage(message, e.getMessage(), traceContext);
                 return;
             } catch (Exception e) {
-                errorMessage(message, e.getMessage());
+                errorMessage(message, e.getMessage(), traceContext);
                 return;
             }
         }
@@ -74,16 +128,21 @@ public class KafkaProducerService {
     /**
      * Retries publishing a message to the retry topic.
      *
-     * @param message the message to retry
+     * @param message      the message to retry
+     * @param traceContext the trace of the message
      */
-    private void retryMessage(String message) {
+    private void retryMessage(String message, TraceContext traceContext) {
         try {
-            producer.send(new ProducerRecord<>(properties.getRetryTopic(), message)).get();
+            producer.send(tracedRecord(properties.getRetryTopic(), message, traceContext)).get();
         } catch (InterruptedException | ExecutionException e) {
-            errorMessage(message, e.getMessage());
+            errorMessage(message, e.getMessage(), traceContext);
         }
     }
 
+    private ProducerRecord<String, String> tracedRecord(String topic, String message, TraceContext traceContext) {
+        return new ProducerRecord<String, String>(topic, null, null, message, traceContext.toKafkaHeaders());
+    }
+
     /**
      * Publishes an error message to the error topic with the original message
      * and the error details.
@@ -92,14 +151,27 @@ public class KafkaProducerService {
      * @param errorMessage the error details
      */
     public void errorMessage(String message, String errorMessage) {
+        errorMessage(message, errorMessage, tracer.start());
+    }
+
+    /**
+     * Publishes an error message to the error topic with the original message,
+     * the error details and the trace metadata of the message.
+     *
+     * @param message      the original message
+     * @param errorMessage the error details
+     * @param traceContext the trace of the message
+     */
+    public void errorMessage(String message, String errorMessage, TraceContext traceContext) {
         try {
-            List<Header> headers = List.of(
-                    new RecordHeader("error-message", errorMessage.getBytes(StandardCharsets.UTF_8))
-            );
+            List<Header> headers = traceContext.toKafkaHeaders();
+            headers.add(new RecordHeader("error-message", errorMessage.getBytes(StandardCharsets.UTF_8)));
             ProducerRecord<String, String> consumedRecord = new ProducerRecord<String, String>(properties.getErrorTopic(), null, null, message, headers);
             producer.send(consumedRecord).get();
         } catch (InterruptedException | ExecutionException e) {
             e.printStackTrace();
+        } finally {
+            tracer.complete(traceContext, TraceContext.ERROR);
         }
     }
 }
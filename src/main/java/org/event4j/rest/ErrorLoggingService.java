@@ -32,6 +32,18 @@ public class ErrorLoggingService {
         }
     }
 
+    /**
+     * Constructs an instance of {@code ErrorLoggingService} that writes to an
+     * already established connection.
+     *
+     * @param restConfigurationProperties the REST configuration properties
+     * @param connection                  the database connection
+     */
+    public ErrorLoggingService(RestConfigurationProperties restConfigurationProperties, Connection connection) {
+        this.properties = restConfigurationProperties;
+        this.connection = connection;
+    }
+
     /**
      * Logs an error message to the database.
      *
@@ -1,5 +1,9 @@
 package org.event4j.rest;
 
+import org.event4j.trace.TraceConfigurationProperties;
+import org.event4j.trace.TraceContext;
+import org.event4j.trace.TraceStage;
+import org.event4j.trace.Tracer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -21,6 +25,7 @@ public class RestProducerService {
     private final ScheduledExecutorService scheduledExecutorService;
 
     private final ErrorLoggingService errorLoggingService;
+    private final Tracer tracer;
 
     /**
      * Constructs an instance of {@code RestProducerService} with the specified
@@ -29,9 +34,35 @@ public class RestProducerService {
      * @param restConfigurationProperties the REST configuration properties
      */
     public RestProducerService(RestConfigurationProperties restConfigurationProperties) {
+        this(restConfigurationProperties, new Tracer(new TraceConfigurationProperties()));
+    }
+
+    /**
+     * Constructs an instance of {@code RestProducerService} with the specified
+     * configuration properties and tracer.
+     *
+     * @param restConfigurationProperties the REST configuration properties
+     * @param tracer                      the tracer that records sampled events
+     */
+    public RestProducerService(RestConfigurationProperties restConfigurationProperties, Tracer tracer) {
+        this(restConfigurationProperties, new RestTemplate(), new ErrorLoggingService(restConfigurationProperties), tracer);
+    }
+
+    /**
+     * Constructs an instance of {@code RestProducerService} that sends through
+     * the given {@code RestTemplate} and logs exhausted messages to the given
+     * error logging service.
+     *
+     * @param restConfigurationProperties the REST configuration properties
+     * @param restTemplate                the template used to call the endpoint
+     * @param errorLoggingService         the service used to log failed messages
+     * @param tracer                      the tracer that records sampled events
+     */
+    public RestProducerService(RestConfigurationProperties restConfigurationProperties, RestTemplate restTemplate, ErrorLoggingService errorLoggingService, Tracer tracer) {
         this.properties = restConfigurationProperties;
-        this.restTemplate = new RestTemplate();
-        this.errorLoggingService = new ErrorLoggingService(restConfigurationProperties);
+        this.restTemplate = restTemplate;
+        this.errorLoggingService = errorLoggingService;
+        this.tracer = tracer;
         this.scheduledExecutorService = Executors.newScheduledThreadPool(1);
     }
 
@@ -42,32 +73,55 @@ public class RestProducerService {
      * @return a {@code CompletableFuture} representing the asynchronous operation
      */
     public CompletableFuture<Void> send(String message) {
-        return sendWithRetry(message, 0);
+        return send(message, tracer.start());
+    }
+
+    /**
+     * Sends a message to the configured REST endpoint with its trace metadata
+     * as HTTP headers.
+     *
+     * @param message      the message to send
+     * @param traceContext the trace of the message
+     * @return a {@code CompletableFuture} representing the asynchronous operation
+     */
+    public CompletableFuture<Void> send(String message, TraceContext traceContext) {
+        return sendWithRetry(message, 0, traceContext);
     }
 
     /**
      * Sends a message to the configured REST endpoint with retries.
      *
-     * @param message the message to send
-     * @param attempt the current retry attempt
+     * @param message      the message to send
+     * @param attempt      the current retry attempt
+     * @param traceContext the trace of the message
      * @return a {@code CompletableFuture} representing the asynchronous operation
      */
-    private CompletableFuture<Void> sendWithRetry(String message, int attempt) {
+    private CompletableFuture<Void> sendWithRetry(String message, int attempt, TraceContext traceContext) {
         return CompletableFuture.runAsync(() -> {
             try {
+                traceContext.mark(attempt > 0 ? TraceStage.REST_BACKOFF : TraceStage.REST_QUEUE);
+                traceContext.nextAttempt();
                 HttpHeaders headers = new HttpHeaders();
                 headers.setContentType(MediaType.APPLICATION_JSON);
+                traceContext.addTo(headers);
 
                 HttpEntity<String> request = new HttpEntity<>(message, headers);
-                ResponseEntity<String> response = restTemplate.postForEntity(properties.getUrl(), request, String.class);
+                ResponseEntity<String> response;
+                try {
+                    response = restTemplate.postForEntity(properties.getUrl(), request, String.class);
+                } finally {
+                    traceContext.mark(TraceStage.REST_REQUEST);
+                }
                 if (!response.getStatusCode().is2xxSuccessful()) {
                     throw new InternalError(String.format("Request failed with status code : %d", response.getStatusCode().value()));
                 }
+                tracer.complete(traceContext, TraceContext.DELIVERED);
             } catch (Exception e) {
                 if (attempt + 1 < properties.getRetryCount()) {
-                    scheduleRetry(message, attempt + 1);
+                    scheduleRetry(message, attempt + 1, traceContext);
                 } else {
                     errorLoggingService.logError(message, e.getMessage());
+                    tracer.complete(traceContext, TraceContext.ERROR);
                 }
             }
         }, scheduledExecutorService);
@@ -76,10 +130,11 @@ public class RestProducerService {
     /**
      * Schedules a retry for sending a message.
      *
-     * @param message the message to send
-     * @param attempt the current retry attempt
+     * @param message      the message to send
+     * @param attempt      the current retry attempt
+     * @param traceContext the trace of the message
      */
-    private void scheduleRetry(String message, int attempt) {
-        scheduledExecutorService.schedule(() -> sendWithRetry(message, attempt), 2, TimeUnit.SECONDS);
+    private void scheduleRetry(String message, int attempt, TraceContext traceContext) {
+        scheduledExecutorService.schedule(() -> sendWithRetry(message, attempt, traceContext), 2, TimeUnit.SECONDS);
     }
 }
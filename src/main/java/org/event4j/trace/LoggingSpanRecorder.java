@@ -0,0 +1,28 @@
+package org.event4j.trace;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code LoggingSpanRecorder} class is the default {@link SpanRecorder}.
+ * It logs one line per sampled event with the total latency and the latency
+ * of each stage.
+ */
+public class LoggingSpanRecorder implements SpanRecorder {
+    private static final Logger LOGGER = Logger.getLogger(LoggingSpanRecorder.class.getName());
+
+    @Override
+    public void record(TraceContext traceContext, String outcome) {
+        if (!LOGGER.isLoggable(Level.INFO)) {
+            return;
+        }
+        StringBuilder line = new StringBuilder("event4j trace outcome=").append(outcome)
+                .append(" attempts=").append(traceContext.getAttempt())
+                .append(" totalMs=").append(traceContext.getElapsedMicros() / 1000.0);
+        for (Map.Entry<TraceStage, Long> stage : traceContext.getStageDurations().entrySet()) {
+            line.append(' ').append(stage.getKey()).append("Ms=").append(stage.getValue() / 1000.0);
+        }
+        LOGGER.log(Level.INFO, line.toString());
+    }
+}
@@ -0,0 +1,17 @@
+package org.event4j.trace;
+
+/**
+ * The {@code SpanRecorder} interface is notified once for every sampled event
+ * when it reaches a final outcome. Implementations are called on the
+ * publishing threads and should return quickly.
+ */
+public interface SpanRecorder {
+
+    /**
+     * Records the per-stage latency breakdown of a completed event.
+     *
+     * @param traceContext the trace of the event
+     * @param outcome      the final outcome, {@link TraceContext#DELIVERED} or {@link TraceContext#ERROR}
+     */
+    void record(TraceContext traceContext, String outcome);
+}
@@ -0,0 +1,55 @@
+package org.event4j.trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code TraceConfigurationProperties} class loads and stores the
+ * configuration properties for event tracing.
+ */
+public class TraceConfigurationProperties {
+    private static final Logger LOGGER = Logger.getLogger(TraceConfigurationProperties.class.getName());
+    private double sampleRate;
+    private String recorder;
+
+    /**
+     * Constructs an instance of {@code TraceConfigurationProperties} and loads
+     * the properties from the {@code application.properties} file.
+     */
+    public TraceConfigurationProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
+            if (input == null) {
+                LOGGER.log(Level.WARNING, "Sorry, unable to find application.properties");
+                return;
+            }
+            properties.load(input);
+
+            this.sampleRate = Double.parseDouble(properties.getProperty("event4j.trace.sample-rate", "0"));
+            this.recorder = properties.getProperty("event4j.trace.recorder");
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    // Getters and setters for each property
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public String getRecorder() {
+        return recorder;
+    }
+
+    public void setRecorder(String recorder) {
+        this.recorder = recorder;
+    }
+}
@@ -0,0 +1,222 @@
+package org.event4j.trace;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TraceContext} class holds the trace metadata of a single event:
+ * its origin timestamp, the number of publish attempts and, for sampled
+ * events, the time spent in each {@link TraceStage} and the timestamp of the
+ * last stage that ended. The metadata
+ * travels with the event as Kafka record headers and HTTP headers, so it
+ * survives the detour through the retry topic and is visible downstream.
+ *
+ * <p>All timestamps are epoch microseconds.
+ */
+public class TraceContext {
+    public static final String ORIGIN_HEADER = "event4j-origin";
+    public static final String ATTEMPT_HEADER = "event4j-attempt";
+    public static final String SAMPLED_HEADER = "event4j-sampled";
+    public static final String STAGES_HEADER = "event4j-stages";
+    public static final String LAST_MARK_HEADER = "event4j-last-mark";
+
+    public static final String DELIVERED = "delivered";
+    public static final String ERROR = "error";
+
+    private static final TraceStage[] STAGES = TraceStage.values();
+
+    private final long originMicros;
+    private final boolean sampled;
+    private int attempt;
+    private long lastMarkMicros;
+    private long[] stageMicros;
+    private int markedStages;
+
+    TraceContext(long originMicros, int attempt, boolean sampled) {
+        this.originMicros = originMicros;
+        this.attempt = attempt;
+        this.sampled = sampled;
+        this.lastMarkMicros = originMicros;
+        if (sampled) {
+            this.stageMicros = new long[STAGES.length];
+        }
+    }
+
+    static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+    }
+
+    /**
+     * Marks the end of a stage and adds the time since the previous mark to
+     * it. Does nothing for unsampled events.
+     *
+     * @param stage the stage that ended
+     */
+    public void mark(TraceStage stage) {
+        if (!sampled) {
+            return;
+        }
+        long now = nowMicros();
+        stageMicros[stage.ordinal()] += now - lastMarkMicros;
+        markedStages |= 1 << stage.ordinal();
+        lastMarkMicros = now;
+    }
+
+    /**
+     * Counts a new publish attempt.
+     */
+    public void nextAttempt() {
+        attempt++;
+    }
+
+    /**
+     * Returns the latency of each stage, summed over repeated stages.
+     *
+     * @return the stage latencies in microseconds, in stage order
+     */
+    public Map<TraceStage, Long> getStageDurations() {
+        Map<TraceStage, Long> durations = new EnumMap<>(TraceStage.class);
+        for (TraceStage stage : STAGES) {
+            if (isMarked(stage)) {
+                durations.put(stage, stageMicros[stage.ordinal()]);
+            }
+        }
+        return durations;
+    }
+
+    private boolean isMarked(TraceStage stage) {
+        return (markedStages & 1 << stage.ordinal()) != 0;
+    }
+
+    /**
+     * Returns the time since the origin of the event.
+     *
+     * @return the elapsed time in microseconds
+     */
+    public long getElapsedMicros() {
+        return nowMicros() - originMicros;
+    }
+
+    public long getOriginMicros() {
+        return originMicros;
+    }
+
+    public long getLastMarkMicros() {
+        return lastMarkMicros;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Converts the trace metadata to Kafka record headers.
+     *
+     * @return the record headers
+     */
+    public List<Header> toKafkaHeaders() {
+        List<Header> headers = new ArrayList<>(5);
+        headers.add(new RecordHeader(ORIGIN_HEADER, Long.toString(originMicros).getBytes(StandardCharsets.UTF_8)));
+        headers.add(new RecordHeader(ATTEMPT_HEADER, Integer.toString(attempt).getBytes(StandardCharsets.UTF_8)));
+        if (sampled) {
+            headers.add(new RecordHeader(SAMPLED_HEADER, "1".getBytes(StandardCharsets.UTF_8)));
+            headers.add(new RecordHeader(STAGES_HEADER, encodeStages().getBytes(StandardCharsets.UTF_8)));
+            headers.add(new RecordHeader(LAST_MARK_HEADER, Long.toString(lastMarkMicros).getBytes(StandardCharsets.UTF_8)));
+        }
+        return headers;
+    }
+
+    /**
+     * Adds the trace metadata to HTTP request headers.
+     *
+     * @param headers the request headers
+     */
+    public void addTo(HttpHeaders headers) {
+        headers.set(ORIGIN_HEADER, Long.toString(originMicros));
+        headers.set(ATTEMPT_HEADER, Integer.toString(attempt));
+        if (sampled) {
+            headers.set(SAMPLED_HEADER, "1");
+            headers.set(STAGES_HEADER, encodeStages());
+            headers.set(LAST_MARK_HEADER, Long.toString(lastMarkMicros));
+        }
+    }
+
+    /**
+     * Restores the trace of a consumed record. Records without trace headers
+     * start a new unsampled trace.
+     *
+     * @param headers the record headers
+     * @return the trace context of the record
+     */
+    public static TraceContext fromKafkaHeaders(Headers headers) {
+        String origin = headerValue(headers, ORIGIN_HEADER);
+        String attempt = headerValue(headers, ATTEMPT_HEADER);
+        if (origin == null || attempt == null) {
+            return new TraceContext(nowMicros(), 0, false);
+        }
+        try {
+            TraceContext traceContext = new TraceContext(Long.parseLong(origin), Integer.parseInt(attempt), headerValue(headers, SAMPLED_HEADER) != null);
+            traceContext.decodeStages(headerValue(headers, STAGES_HEADER), headerValue(headers, LAST_MARK_HEADER));
+            return traceContext;
+        } catch (NumberFormatException e) {
+            return new TraceContext(nowMicros(), 0, false);
+        }
+    }
+
+    private static String headerValue(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private String encodeStages() {
+        StringBuilder encoded = new StringBuilder(STAGES.length * 24);
+        for (TraceStage stage : STAGES) {
+            if (!isMarked(stage)) {
+                continue;
+            }
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(stage.name()).append('=').append(stageMicros[stage.ordinal()]);
+        }
+        return encoded.toString();
+    }
+
+    private void decodeStages(String encoded, String lastMark) {
+        if (!sampled || encoded == null || encoded.isEmpty() || lastMark == null) {
+            return;
+        }
+        try {
+            this.lastMarkMicros = Long.parseLong(lastMark);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        for (String entry : encoded.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            try {
+                TraceStage stage = TraceStage.valueOf(entry.substring(0, separator));
+                stageMicros[stage.ordinal()] += Long.parseLong(entry.substring(separator + 1));
+                markedStages |= 1 << stage.ordinal();
+            } catch (IllegalArgumentException e) {
+                // Skip unknown or malformed stages
+            }
+        }
+    }
+}
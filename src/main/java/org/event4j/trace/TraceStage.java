@@ -0,0 +1,25 @@
+package org.event4j.trace;
+
+/**
+ * The {@code TraceStage} enum lists the stages an event passes through on its
+ * way to Kafka or a REST endpoint. Each stage is marked when it ends, so its
+ * latency is the time since the previous mark.
+ */
+public enum TraceStage {
+    /** Running the annotated method. */
+    INVOKE,
+    /** Serializing the result of the annotated method. */
+    SERIALIZE,
+    /** Handing the record to the Kafka producer, including buffer and metadata waits. */
+    PRODUCER_QUEUE,
+    /** Waiting for the broker to acknowledge the record. */
+    BROKER_ACK,
+    /** Publishing to the retry topic until the record is consumed again. */
+    RETRY_TOPIC,
+    /** Waiting for the REST executor to pick up the message. */
+    REST_QUEUE,
+    /** Sending the request to the REST endpoint. */
+    REST_REQUEST,
+    /** Waiting for a scheduled REST retry to start. */
+    REST_BACKOFF
+}
@@ -0,0 +1,79 @@
+package org.event4j.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code Tracer} class starts a {@link TraceContext} for every published
+ * event and hands sampled traces to a {@link SpanRecorder} once they
+ * complete. Unsampled events only carry their origin timestamp and attempt
+ * count, so tracing can stay enabled in production.
+ */
+public class Tracer {
+    private static final Logger LOGGER = Logger.getLogger(Tracer.class.getName());
+
+    private final double sampleRate;
+    private final SpanRecorder spanRecorder;
+
+    /**
+     * Constructs an instance of {@code Tracer} with the specified configuration
+     * properties. The recorder is instantiated from the configured class name,
+     * or is a {@link LoggingSpanRecorder} if none is configured.
+     *
+     * @param traceConfigurationProperties the trace configuration properties
+     */
+    public Tracer(TraceConfigurationProperties traceConfigurationProperties) {
+        this(traceConfigurationProperties.getSampleRate(), createRecorder(traceConfigurationProperties.getRecorder()));
+    }
+
+    /**
+     * Constructs an instance of {@code Tracer}.
+     *
+     * @param sampleRate   the fraction of events to record, between 0 and 1
+     * @param spanRecorder the recorder notified of sampled events
+     */
+    public Tracer(double sampleRate, SpanRecorder spanRecorder) {
+        this.sampleRate = sampleRate;
+        this.spanRecorder = spanRecorder;
+    }
+
+    private static SpanRecorder createRecorder(String className) {
+        if (className == null || className.isBlank()) {
+            return new LoggingSpanRecorder();
+        }
+        try {
+            return (SpanRecorder) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, String.format("Unable to create span recorder %s, using %s", className, LoggingSpanRecorder.class.getName()), e);
+            return new LoggingSpanRecorder();
+        }
+    }
+
+    /**
+     * Starts the trace of a new event.
+     *
+     * @return the trace context, sampled according to the sample rate
+     */
+    public TraceContext start() {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return new TraceContext(TraceContext.nowMicros(), 0, sampled);
+    }
+
+    /**
+     * Completes the trace of an event and records it if it is sampled.
+     *
+     * @param traceContext the trace of the event
+     * @param outcome      the final outcome of the event
+     */
+    public void complete(TraceContext traceContext, String outcome) {
+        if (!traceContext.isSampled()) {
+            return;
+        }
+        try {
+            spanRecorder.record(traceContext, outcome);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.event4j.loadtest;
+
+import org.event4j.rest.ErrorLoggingService;
+import org.event4j.rest.RestConfigurationProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CountingErrorLoggingService} class replaces the database error
+ * sink with an in-memory counter.
+ */
+public class CountingErrorLoggingService extends ErrorLoggingService {
+    private final AtomicLong errors = new AtomicLong();
+
+    public CountingErrorLoggingService(RestConfigurationProperties restConfigurationProperties) {
+        super(restConfigurationProperties, null);
+    }
+
+    @Override
+    public void logError(String message, String errorMessage) {
+        errors.incrementAndGet();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,156 @@
+package org.event4j.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.event4j.kafka.KafkaConfigurationProperties;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code FaultInjectingMockProducer} class is a {@link MockProducer} that
+ * applies a {@link FaultProfile} to the acknowledgement of sends on the main
+ * topic and forwards records sent to the retry topic into a
+ * {@link MockConsumer}, closing the loop through {@code KafkaConsumerService}. Failures are reported as a
+ * retriable {@link TimeoutException}, like an unavailable broker would.
+ * Records are counted but not kept, so long runs do not grow the heap.
+ */
+public class FaultInjectingMockProducer extends MockProducer<String, String> {
+    private final KafkaConfigurationProperties properties;
+    private final FaultProfile faultProfile;
+    private final MockConsumer<String, String> retryConsumer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder deliveryLatency = new LatencyRecorder();
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private long retryOffset;
+
+    public FaultInjectingMockProducer(KafkaConfigurationProperties properties, FaultProfile faultProfile, MockConsumer<String, String> retryConsumer) {
+        super(true, new StringSerializer(), new StringSerializer());
+        this.properties = properties;
+        this.faultProfile = faultProfile;
+        this.retryConsumer = retryConsumer;
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<String, String> record) {
+        return send(record, null);
+    }
+
+    /**
+     * Sends a record without taking the {@link MockProducer} lock and without
+     * keeping it in the send history. Main topic records are acknowledged or
+     * failed by the scheduler once the injected latency has passed, like a
+     * broker acknowledgement would be.
+     */
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+        String topic = record.topic();
+        if (topic.equals(properties.getTopic())) {
+            attempts.incrementAndGet();
+            CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+            scheduler.schedule(() -> acknowledge(record, callback, future), faultProfile.getLatencyMillis(), TimeUnit.MILLISECONDS);
+            return future;
+        }
+        if (topic.equals(properties.getRetryTopic())) {
+            retried.incrementAndGet();
+            forwardToRetryConsumer(record);
+        } else if (topic.equals(properties.getErrorTopic())) {
+            errors.incrementAndGet();
+        }
+        RecordMetadata metadata = metadata(record);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        return CompletableFuture.completedFuture(metadata);
+    }
+
+    private void acknowledge(ProducerRecord<String, String> record, Callback callback, CompletableFuture<RecordMetadata> future) {
+        if (faultProfile.shouldFail()) {
+            failures.incrementAndGet();
+            TimeoutException exception = new TimeoutException("Injected broker failure");
+            if (callback != null) {
+                callback.onCompletion(null, exception);
+            }
+            future.completeExceptionally(exception);
+            return;
+        }
+        recordDelivery(record.value());
+        RecordMetadata metadata = metadata(record);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        future.complete(metadata);
+    }
+
+    private static RecordMetadata metadata(ProducerRecord<String, String> record) {
+        return new RecordMetadata(new TopicPartition(record.topic(), 0), -1, 0, System.currentTimeMillis(), ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        super.close();
+    }
+
+    private void recordDelivery(String value) {
+        try {
+            LoadTestEvent event = objectMapper.readValue(value, LoadTestEvent.class);
+            deliveryLatency.record(System.nanoTime() - event.getCreatedNanos());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        delivered.incrementAndGet();
+    }
+
+    private void forwardToRetryConsumer(ProducerRecord<String, String> record) {
+        synchronized (retryConsumer) {
+            retryConsumer.addRecord(new ConsumerRecord<>(record.topic(), 0, retryOffset++, System.currentTimeMillis(), TimestampType.CREATE_TIME,
+                    ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE, record.key(), record.value(), new RecordHeaders(record.headers().toArray()), Optional.empty()));
+        }
+    }
+
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public LatencyRecorder getDeliveryLatency() {
+        return deliveryLatency;
+    }
+}
@@ -0,0 +1,83 @@
+package org.event4j.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code FaultProfile} class describes how a simulated downstream
+ * behaves: a fixed latency per call, a random failure rate and an optional
+ * outage window during which every call fails.
+ */
+public class FaultProfile {
+    private final long latencyMillis;
+    private final double failureRate;
+    private final long outageStartMillis;
+    private final long outageEndMillis;
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Constructs an instance of {@code FaultProfile}.
+     *
+     * @param latencyMillis     the latency added to every call
+     * @param failureRate       the probability of a call failing, between 0 and 1
+     * @param outageStartMillis the start of the outage relative to {@link #start()}, negative to disable
+     * @param outageEndMillis   the end of the outage relative to {@link #start()}
+     */
+    public FaultProfile(long latencyMillis, double failureRate, long outageStartMillis, long outageEndMillis) {
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+        this.outageStartMillis = outageStartMillis;
+        this.outageEndMillis = outageEndMillis;
+    }
+
+    /**
+     * Marks the start of the run that the outage window is relative to.
+     */
+    public void start() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Sleeps for the configured latency.
+     */
+    public void delay() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decides whether the current call fails.
+     *
+     * @return {@code true} if the call should fail
+     */
+    public boolean shouldFail() {
+        if (outageStartMillis >= 0) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            if (elapsedMillis >= outageStartMillis && elapsedMillis < outageEndMillis) {
+                return true;
+            }
+        }
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public long getOutageStartMillis() {
+        return outageStartMillis;
+    }
+
+    public long getOutageEndMillis() {
+        return outageEndMillis;
+    }
+}
@@ -0,0 +1,91 @@
+package org.event4j.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code HttpStubServer} class is an in-process HTTP endpoint that
+ * accepts the messages sent by {@code RestProducerService}. Each request is
+ * delayed and failed according to a {@link FaultProfile}.
+ */
+public class HttpStubServer {
+    private final HttpServer server;
+    private final ExecutorService executorService;
+    private final FaultProfile faultProfile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder deliveryLatency = new LatencyRecorder();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    /**
+     * Constructs an instance of {@code HttpStubServer} bound to an ephemeral
+     * port on the loopback interface.
+     *
+     * @param faultProfile the latency and failure behaviour of the endpoint
+     * @throws IOException if the server cannot be bound
+     */
+    public HttpStubServer(FaultProfile faultProfile) throws IOException {
+        this.faultProfile = faultProfile;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executorService = Executors.newCachedThreadPool();
+        this.server.createContext("/events", this::handle);
+        this.server.setExecutor(executorService);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/events";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        byte[] body;
+        try (InputStream input = exchange.getRequestBody()) {
+            body = input.readAllBytes();
+        }
+        faultProfile.delay();
+        if (faultProfile.shouldFail()) {
+            failures.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+        } else {
+            LoadTestEvent event = objectMapper.readValue(body, LoadTestEvent.class);
+            deliveryLatency.record(System.nanoTime() - event.getCreatedNanos());
+            delivered.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+        }
+        exchange.close();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public LatencyRecorder getDeliveryLatency() {
+        return deliveryLatency;
+    }
+}
@@ -0,0 +1,55 @@
+package org.event4j.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code LatencyRecorder} class collects latency samples in nanoseconds
+ * and reports percentiles in milliseconds.
+ */
+public class LatencyRecorder {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50Ms", "p90Ms", "p99Ms", "p999Ms"};
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    /**
+     * Records a latency sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    /**
+     * Summarizes the recorded samples.
+     *
+     * @return the sample count, mean, max and percentiles in milliseconds
+     */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        if (size == 0) {
+            return summary;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        summary.put("meanMs", toMillis((long) Arrays.stream(sorted).average().orElse(0)));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            int index = (int) Math.ceil(PERCENTILES[i] / 100 * size) - 1;
+            summary.put(PERCENTILE_NAMES[i], toMillis(sorted[Math.max(index, 0)]));
+        }
+        summary.put("maxMs", toMillis(sorted[size - 1]));
+        return summary;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000L / 1_000.0;
+    }
+}
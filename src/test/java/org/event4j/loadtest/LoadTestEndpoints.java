@@ -0,0 +1,26 @@
+package org.event4j.loadtest;
+
+import org.event4j.kafka.KafkaPublisher;
+import org.event4j.rest.RestPublisher;
+
+/**
+ * The {@code LoadTestEndpoints} class holds the annotated methods that the
+ * load test drives through the annotation processor.
+ */
+public class LoadTestEndpoints {
+    private final String payload;
+
+    public LoadTestEndpoints(int payloadSize) {
+        this.payload = "x".repeat(payloadSize);
+    }
+
+    @KafkaPublisher
+    public LoadTestEvent kafkaEvent(long id) {
+        return new LoadTestEvent(id, System.nanoTime(), payload);
+    }
+
+    @RestPublisher
+    public LoadTestEvent restEvent(long id) {
+        return new LoadTestEvent(id, System.nanoTime(), payload);
+    }
+}
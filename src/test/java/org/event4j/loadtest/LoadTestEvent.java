@@ -0,0 +1,47 @@
+package org.event4j.loadtest;
+
+/**
+ * The {@code LoadTestEvent} class is the payload returned by the annotated
+ * load test methods. It carries its creation time so that the stubs can
+ * measure end-to-end delivery latency.
+ */
+public class LoadTestEvent {
+    private long id;
+    private long createdNanos;
+    private String payload;
+
+    public LoadTestEvent() {
+    }
+
+    public LoadTestEvent(long id, long createdNanos, String payload) {
+        this.id = id;
+        this.createdNanos = createdNanos;
+        this.payload = payload;
+    }
+
+    // Getters and setters for each property
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    public void setCreatedNanos(long createdNanos) {
+        this.createdNanos = createdNanos;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,246 @@
+package org.event4j.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.event4j.Event4JAnnotationProcessor;
+import org.event4j.kafka.KafkaConfigurationProperties;
+import org.event4j.kafka.KafkaConsumerService;
+import org.event4j.kafka.KafkaProducerService;
+import org.event4j.kafka.KafkaPublisher;
+import org.event4j.rest.RestConfigurationProperties;
+import org.event4j.rest.RestProducerService;
+import org.event4j.rest.RestPublisher;
+import org.event4j.trace.Tracer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code LoadTestHarness} class drives the {@link KafkaPublisher} and
+ * {@link RestPublisher} advice of {@link Event4JAnnotationProcessor} from many
+ * concurrent threads against in-process stand-ins: a {@code MockProducer}
+ * and {@code MockConsumer} pair for Kafka and the retry topic loop, and an
+ * {@link HttpStubServer} for REST. Both stand-ins apply a {@link FaultProfile}.
+ * The results are printed and written as JSON so that releases can be
+ * compared. Sampled events additionally report their per-stage latency.
+ *
+ * <p>The harness is configured with {@code loadtest.*} system properties and
+ * is normally run with {@code mvn -Ploadtest verify}.
+ */
+public class LoadTestHarness {
+    private static final String TOPIC = "loadtest-topic";
+    private static final String RETRY_TOPIC = "loadtest-retry-topic";
+    private static final String ERROR_TOPIC = "loadtest-error-topic";
+
+    private final int threads = Integer.getInteger("loadtest.threads", 200);
+    private final int events = Integer.getInteger("loadtest.events", 5000);
+    private final int payloadSize = Integer.getInteger("loadtest.payload-size", 256);
+    private final int retryCount = Integer.getInteger("loadtest.retry-count", 4);
+    private final long drainTimeoutSeconds = Long.getLong("loadtest.drain-timeout-seconds", 120);
+    private final List<String> channels = Arrays.asList(System.getProperty("loadtest.channels", "kafka,rest").split(","));
+    private final double traceSampleRate = Double.parseDouble(System.getProperty("loadtest.trace.sample-rate", "0"));
+    private final String label = System.getProperty("loadtest.label", "");
+    private final String output = System.getProperty("loadtest.output", "target/loadtest-results.json");
+    private final FaultProfile kafkaFaults = faultProfile("kafka", 2);
+    private final FaultProfile restFaults = faultProfile("rest", 5);
+    private final LoadTestEndpoints endpoints = new LoadTestEndpoints(payloadSize);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run();
+        // The producer and consumer services own non-daemon executors
+        System.exit(0);
+    }
+
+    private static FaultProfile faultProfile(String channel, long defaultLatencyMillis) {
+        String prefix = "loadtest." + channel + ".";
+        return new FaultProfile(
+                Long.getLong(prefix + "latency-ms", defaultLatencyMillis),
+                Double.parseDouble(System.getProperty(prefix + "failure-rate", "0.01")),
+                Long.getLong(prefix + "outage-start-ms", -1),
+                Long.getLong(prefix + "outage-end-ms", -1));
+    }
+
+    /**
+     * Runs the configured channels one after another and writes the results.
+     *
+     * @throws Exception if a channel cannot be set up or the results cannot be written
+     */
+    public void run() throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("label", label);
+        results.put("timestamp", Instant.now().toString());
+        results.put("config", config());
+        if (channels.contains("kafka")) {
+            results.put("kafka", runKafka());
+        }
+        if (channels.contains("rest")) {
+            results.put("rest", runRest());
+        }
+
+        File file = new File(output);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, results);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+        System.out.println("Results written to " + file.getAbsolutePath());
+    }
+
+    private Map<String, Object> config() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("threads", threads);
+        config.put("events", events);
+        config.put("payloadSize", payloadSize);
+        config.put("retryCount", retryCount);
+        config.put("traceSampleRate", traceSampleRate);
+        config.put("kafkaFaults", kafkaFaults);
+        config.put("restFaults", restFaults);
+        return config;
+    }
+
+    private Map<String, Object> runKafka() throws Exception {
+        KafkaConfigurationProperties properties = new KafkaConfigurationProperties();
+        properties.setTopic(TOPIC);
+        properties.setRetryTopic(RETRY_TOPIC);
+        properties.setErrorTopic(ERROR_TOPIC);
+        properties.setRetryCount(retryCount);
+
+        StageLatencyRecorder stageLatency = new StageLatencyRecorder();
+        Tracer tracer = new Tracer(traceSampleRate, stageLatency);
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        FaultInjectingMockProducer producer = new FaultInjectingMockProducer(properties, kafkaFaults, consumer);
+        KafkaProducerService kafkaProducerService = new KafkaProducerService(properties, producer, tracer);
+        KafkaConsumerService kafkaConsumerService = new KafkaConsumerService(properties, consumer, kafkaProducerService);
+
+        TopicPartition retryPartition = new TopicPartition(RETRY_TOPIC, 0);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(retryPartition));
+            consumer.updateBeginningOffsets(Map.of(retryPartition, 0L));
+        });
+        kafkaConsumerService.consumeMessages();
+        while (!consumer.assignment().contains(retryPartition)) {
+            Thread.sleep(10);
+        }
+
+        Event4JAnnotationProcessor processor = new Event4JAnnotationProcessor(kafkaProducerService, null, null, tracer);
+        Method method = LoadTestEndpoints.class.getMethod("kafkaEvent", long.class);
+        KafkaPublisher annotation = method.getAnnotation(KafkaPublisher.class);
+
+        kafkaFaults.start();
+        Map<String, Object> result = drive(id -> processor.processKafkaPublisher(new MethodInvocationJoinPoint(endpoints, method, id), annotation),
+                () -> producer.getDelivered() + producer.getErrors());
+
+        result.put("attempts", producer.getAttempts());
+        result.put("failedAttempts", producer.getFailures());
+        result.put("retryTopicRecords", producer.getRetried());
+        result.put("delivered", producer.getDelivered());
+        result.put("errorTopicRecords", producer.getErrors());
+        result.put("deliveryLatency", producer.getDeliveryLatency().summary());
+        result.put("stageLatency", stageLatency.summary());
+        return result;
+    }
+
+    private Map<String, Object> runRest() throws Exception {
+        HttpStubServer stub = new HttpStubServer(restFaults);
+        stub.start();
+        try {
+            RestConfigurationProperties properties = new RestConfigurationProperties();
+            properties.setUrl(stub.getUrl());
+            properties.setRetryCount(retryCount);
+
+            StageLatencyRecorder stageLatency = new StageLatencyRecorder();
+            Tracer tracer = new Tracer(traceSampleRate, stageLatency);
+            CountingErrorLoggingService errorLoggingService = new CountingErrorLoggingService(properties);
+            RestProducerService restProducerService = new RestProducerService(properties, new RestTemplate(), errorLoggingService, tracer);
+            Event4JAnnotationProcessor processor = new Event4JAnnotationProcessor(null, restProducerService, errorLoggingService, tracer);
+            Method method = LoadTestEndpoints.class.getMethod("restEvent", long.class);
+            RestPublisher annotation = method.getAnnotation(RestPublisher.class);
+
+            restFaults.start();
+            Map<String, Object> result = drive(id -> processor.processRestHandler(new MethodInvocationJoinPoint(endpoints, method, id), annotation),
+                    () -> stub.getDelivered() + errorLoggingService.getErrors());
+
+            result.put("requests", stub.getRequests());
+            result.put("failedRequests", stub.getFailures());
+            result.put("retries", Math.max(0, stub.getRequests() - events));
+            result.put("delivered", stub.getDelivered());
+            result.put("errorSinkRecords", errorLoggingService.getErrors());
+            result.put("deliveryLatency", stub.getDeliveryLatency().summary());
+            result.put("stageLatency", stageLatency.summary());
+            return result;
+        } finally {
+            stub.stop();
+        }
+    }
+
+    /**
+     * Invokes the advice {@code events} times from {@code threads} threads and
+     * waits until every event has either been delivered or reached the error
+     * sink.
+     *
+     * @param advice   the advice invocation for a single event id
+     * @param settled  the number of events that have been delivered or failed
+     * @return the throughput and latency figures of the run
+     * @throws InterruptedException if the harness is interrupted
+     */
+    private Map<String, Object> drive(Advice advice, LongSupplier settled) throws InterruptedException {
+        LatencyRecorder callLatency = new LatencyRecorder();
+        AtomicLong nextId = new AtomicLong();
+        AtomicLong adviceErrors = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                long id;
+                while ((id = nextId.getAndIncrement()) < events) {
+                    long callStart = System.nanoTime();
+                    try {
+                        advice.invoke(id);
+                    } catch (Throwable e) {
+                        adviceErrors.incrementAndGet();
+                    }
+                    callLatency.record(System.nanoTime() - callStart);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long loadNanos = System.nanoTime() - start;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        while (settled.getAsLong() < events && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long totalNanos = System.nanoTime() - start;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loadSeconds", loadNanos / 1e9);
+        result.put("totalSeconds", totalNanos / 1e9);
+        result.put("invocationsPerSecond", events / (loadNanos / 1e9));
+        result.put("settledPerSecond", settled.getAsLong() / (totalNanos / 1e9));
+        result.put("drained", settled.getAsLong() >= events);
+        result.put("adviceErrors", adviceErrors.get());
+        result.put("callLatency", callLatency.summary());
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Advice {
+        void invoke(long id) throws Throwable;
+    }
+}
@@ -0,0 +1,95 @@
+package org.event4j.loadtest;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * The {@code MethodInvocationJoinPoint} class is a minimal
+ * {@link ProceedingJoinPoint} that invokes a method reflectively. It lets the
+ * load test call the around advice of the annotation processor directly,
+ * without load-time weaving.
+ */
+public class MethodInvocationJoinPoint implements ProceedingJoinPoint {
+    private final Object target;
+    private final Method method;
+    private final Object[] args;
+
+    public MethodInvocationJoinPoint(Object target, Method method, Object... args) {
+        this.target = target;
+        this.method = method;
+        this.args = args;
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        return proceed(args);
+    }
+
+    @Override
+    public Object proceed(Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void set$AroundClosure(AroundClosure arc) {
+    }
+
+    @Override
+    public String toShortString() {
+        return method.getName();
+    }
+
+    @Override
+    public String toLongString() {
+        return method.toGenericString();
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+
+    @Override
+    public Object getTarget() {
+        return target;
+    }
+
+    @Override
+    public Object[] getArgs() {
+        return args.clone();
+    }
+
+    @Override
+    public Signature getSignature() {
+        return null;
+    }
+
+    @Override
+    public SourceLocation getSourceLocation() {
+        return null;
+    }
+
+    @Override
+    public String getKind() {
+        return METHOD_EXECUTION;
+    }
+
+    @Override
+    public StaticPart getStaticPart() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "execution(" + toLongString() + ")";
+    }
+}
@@ -0,0 +1,49 @@
+package org.event4j.loadtest;
+
+import org.event4j.trace.SpanRecorder;
+import org.event4j.trace.TraceContext;
+import org.event4j.trace.TraceStage;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code StageLatencyRecorder} class is a {@link SpanRecorder} that
+ * aggregates the per-stage latency of sampled events.
+ */
+public class StageLatencyRecorder implements SpanRecorder {
+    private final Map<TraceStage, LatencyRecorder> stages = new EnumMap<>(TraceStage.class);
+    private final LatencyRecorder total = new LatencyRecorder();
+
+    public StageLatencyRecorder() {
+        for (TraceStage stage : TraceStage.values()) {
+            stages.put(stage, new LatencyRecorder());
+        }
+    }
+
+    @Override
+    public void record(TraceContext traceContext, String outcome) {
+        total.record(traceContext.getElapsedMicros() * 1_000);
+        for (Map.Entry<TraceStage, Long> stage : traceContext.getStageDurations().entrySet()) {
+            stages.get(stage.getKey()).record(stage.getValue() * 1_000);
+        }
+    }
+
+    /**
+     * Summarizes the recorded traces.
+     *
+     * @return the total and per-stage latency summaries of the stages that occurred
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", total.summary());
+        for (Map.Entry<TraceStage, LatencyRecorder> stage : stages.entrySet()) {
+            Map<String, Object> stageSummary = stage.getValue().summary();
+            if (!Integer.valueOf(0).equals(stageSummary.get("count"))) {
+                summary.put(stage.getKey().name(), stageSummary);
+            }
+        }
+        return summary;
+    }
+}
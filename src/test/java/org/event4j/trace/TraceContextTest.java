@@ -0,0 +1,144 @@
+package org.event4j.trace;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceContextTest {
+
+    @Test
+    void roundTripsSampledTraceThroughKafkaHeaders() {
+        TraceContext traceContext = new TraceContext(TraceContext.nowMicros() - 1_000, 0, true);
+        traceContext.mark(TraceStage.SERIALIZE);
+        traceContext.nextAttempt();
+        traceContext.mark(TraceStage.PRODUCER_QUEUE);
+        traceContext.mark(TraceStage.BROKER_ACK);
+
+        TraceContext decoded = TraceContext.fromKafkaHeaders(toHeaders(traceContext));
+
+        assertTrue(decoded.isSampled());
+        assertEquals(traceContext.getOriginMicros(), decoded.getOriginMicros());
+        assertEquals(traceContext.getLastMarkMicros(), decoded.getLastMarkMicros());
+        assertEquals(1, decoded.getAttempt());
+        assertEquals(traceContext.getStageDurations(), decoded.getStageDurations());
+    }
+
+    @Test
+    void stageDurationsAddUpToLastMarkAcrossManyHops() {
+        TraceContext traceContext = new TraceContext(TraceContext.nowMicros(), 0, true);
+        traceContext.mark(TraceStage.SERIALIZE);
+        for (int hop = 0; hop < 20; hop++) {
+            for (int attempt = 0; attempt < 4; attempt++) {
+                traceContext.nextAttempt();
+                traceContext.mark(TraceStage.PRODUCER_QUEUE);
+                traceContext.mark(TraceStage.BROKER_ACK);
+            }
+            traceContext = TraceContext.fromKafkaHeaders(toHeaders(traceContext));
+            traceContext.mark(TraceStage.RETRY_TOPIC);
+        }
+
+        long total = traceContext.getStageDurations().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(traceContext.getLastMarkMicros() - traceContext.getOriginMicros(), total);
+        assertEquals(4, traceContext.getStageDurations().size());
+    }
+
+    @Test
+    void carriesAttemptCountOverHop() {
+        TraceContext traceContext = new TraceContext(TraceContext.nowMicros(), 0, false);
+        traceContext.nextAttempt();
+        traceContext.nextAttempt();
+        traceContext.nextAttempt();
+
+        TraceContext decoded = TraceContext.fromKafkaHeaders(toHeaders(traceContext));
+        decoded.nextAttempt();
+
+        assertEquals(4, decoded.getAttempt());
+        assertEquals(traceContext.getOriginMicros(), decoded.getOriginMicros());
+        assertFalse(decoded.isSampled());
+    }
+
+    @Test
+    void unsampledTraceOmitsStageHeaders() {
+        Headers headers = toHeaders(new TraceContext(TraceContext.nowMicros(), 1, false));
+
+        assertNull(headers.lastHeader(TraceContext.SAMPLED_HEADER));
+        assertNull(headers.lastHeader(TraceContext.STAGES_HEADER));
+        assertNull(headers.lastHeader(TraceContext.LAST_MARK_HEADER));
+    }
+
+    @Test
+    void missingOriginStartsNewUnsampledTrace() {
+        Headers headers = new RecordHeaders();
+        add(headers, TraceContext.ATTEMPT_HEADER, "3");
+        add(headers, TraceContext.SAMPLED_HEADER, "1");
+
+        assertNewUnsampledTrace(TraceContext.fromKafkaHeaders(headers));
+    }
+
+    @Test
+    void missingAttemptStartsNewUnsampledTrace() {
+        Headers headers = new RecordHeaders();
+        add(headers, TraceContext.ORIGIN_HEADER, "1700000000000000");
+
+        assertNewUnsampledTrace(TraceContext.fromKafkaHeaders(headers));
+    }
+
+    @Test
+    void malformedOriginStartsNewUnsampledTrace() {
+        Headers headers = new RecordHeaders();
+        add(headers, TraceContext.ORIGIN_HEADER, "yesterday");
+        add(headers, TraceContext.ATTEMPT_HEADER, "3");
+
+        assertNewUnsampledTrace(TraceContext.fromKafkaHeaders(headers));
+    }
+
+    @Test
+    void malformedAttemptStartsNewUnsampledTrace() {
+        Headers headers = new RecordHeaders();
+        add(headers, TraceContext.ORIGIN_HEADER, "1700000000000000");
+        add(headers, TraceContext.ATTEMPT_HEADER, "three");
+
+        assertNewUnsampledTrace(TraceContext.fromKafkaHeaders(headers));
+    }
+
+    @Test
+    void skipsUnknownAndMalformedStages() {
+        Headers headers = new RecordHeaders();
+        add(headers, TraceContext.ORIGIN_HEADER, "1700000000000000");
+        add(headers, TraceContext.ATTEMPT_HEADER, "2");
+        add(headers, TraceContext.SAMPLED_HEADER, "1");
+        add(headers, TraceContext.STAGES_HEADER, "SERIALIZE=10,FUTURE_STAGE=20,BROKER_ACK=abc,PRODUCER_QUEUE,BROKER_ACK=30");
+        add(headers, TraceContext.LAST_MARK_HEADER, "1700000000000060");
+
+        TraceContext decoded = TraceContext.fromKafkaHeaders(headers);
+
+        assertTrue(decoded.isSampled());
+        assertEquals(2, decoded.getAttempt());
+        assertEquals(Map.of(TraceStage.SERIALIZE, 10L, TraceStage.BROKER_ACK, 30L), decoded.getStageDurations());
+    }
+
+    private static void assertNewUnsampledTrace(TraceContext traceContext) {
+        assertFalse(traceContext.isSampled());
+        assertEquals(0, traceContext.getAttempt());
+        assertTrue(traceContext.getStageDurations().isEmpty());
+        assertTrue(Math.abs(TraceContext.nowMicros() - traceContext.getOriginMicros()) < 60_000_000L);
+    }
+
+    private static Headers toHeaders(TraceContext traceContext) {
+        Headers headers = new RecordHeaders();
+        traceContext.toKafkaHeaders().forEach(headers::add);
+        return headers;
+    }
+
+    private static void add(Headers headers, String key, String value) {
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+}